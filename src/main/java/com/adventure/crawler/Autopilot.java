@@ -0,0 +1,128 @@
+package com.adventure.crawler;
+
+import java.util.List;
+import java.util.Random;
+
+// Autopilot: computer controller for the Player that explores, fights and loots. Each turn it picks the key a human
+// would press (WASD, F or E), so its moves go through exactly the same Game.handleInput path as real input.
+// Priorities: swing at adjacent enemies, drink when low on HP, walk the shortest path to the nearest item or enemy,
+// otherwise wander towards the least visited neighbouring tile.
+public final class Autopilot {
+    // HP at or below which a potion is drunk if one is carried
+    private static final int DRINK_AT_HP = 8;
+    private static final int[] DX = { 0, 0, -1, 1 };
+    private static final int[] DY = { -1, 1, 0, 0 };
+    private static final char[] KEYS = { 'w', 's', 'a', 'd' };
+
+    private final int width;
+    private final int height;
+    private final Random rng;
+    // Flat per-tile arrays indexed by y * width + x. Marks are compared against a stamp that is bumped each turn,
+    // so nothing has to be cleared between searches.
+    private final int[] enemyMark;
+    private final int[] itemMark;
+    private final int[] seen;
+    private final int[] parent;
+    private final int[] queue;
+    private final int[] visits;
+    private int stamp;
+
+    // Create a controller for dungeons of the given size; rng breaks ties while wandering
+    public Autopilot(int width, int height, Random rng) {
+        this.width = width;
+        this.height = height;
+        this.rng = rng;
+        int n = width * height;
+        this.enemyMark = new int[n];
+        this.itemMark = new int[n];
+        this.seen = new int[n];
+        this.parent = new int[n];
+        this.queue = new int[n];
+        this.visits = new int[n];
+    }
+
+    // nextKey: decide the player's action for this turn
+    public char nextKey(Dungeon dungeon, Player player) {
+        stamp++;
+        int px = player.getX();
+        int py = player.getY();
+        int here = py * width + px;
+        visits[here]++;
+
+        List<Enemy> enemies = dungeon.getEnemies();
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy e = enemies.get(i);
+            if (e.isAlive() && inBounds(e.getX(), e.getY())) enemyMark[e.getY() * width + e.getX()] = stamp;
+        }
+        List<Item> items = dungeon.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            Item it = items.get(i);
+            if (inBounds(it.getX(), it.getY())) itemMark[it.getY() * width + it.getX()] = stamp;
+        }
+
+        // Fight anything adjacent
+        for (int d = 0; d < 4; d++) {
+            int nx = px + DX[d], ny = py + DY[d];
+            if (inBounds(nx, ny) && enemyMark[ny * width + nx] == stamp) return 'f';
+        }
+        if (player.getHp() <= DRINK_AT_HP && player.getPotions() > 0) return 'e';
+
+        // Head for the nearest item or enemy
+        int step = firstStepToTarget(dungeon, here);
+        if (step >= 0) return KEYS[step];
+
+        // Nothing left to find: explore, preferring tiles visited least often
+        int best = -1;
+        int bestVisits = Integer.MAX_VALUE;
+        int offset = rng.nextInt(4);
+        for (int k = 0; k < 4; k++) {
+            int d = (k + offset) & 3;
+            int nx = px + DX[d], ny = py + DY[d];
+            if (!dungeon.isWalkable(nx, ny)) continue;
+            int v = visits[ny * width + nx];
+            if (v < bestVisits) { bestVisits = v; best = d; }
+        }
+        return best >= 0 ? KEYS[best] : 'f';
+    }
+
+    // firstStepToTarget: BFS from the player's tile over walkable tiles, stopping at the first tile holding an item
+    // or a living enemy. Enemies end a path rather than being walked through. Returns the direction index of the
+    // first step along that path, or -1 if no target is reachable.
+    private int firstStepToTarget(Dungeon dungeon, int start) {
+        int head = 0, tail = 0;
+        seen[start] = stamp;
+        parent[start] = -1;
+        queue[tail++] = start;
+        while (head < tail) {
+            int i = queue[head++];
+            if (i != start && (itemMark[i] == stamp || enemyMark[i] == stamp)) return stepTowards(start, i);
+            int x = i % width, y = i / width;
+            for (int d = 0; d < 4; d++) {
+                int nx = x + DX[d], ny = y + DY[d];
+                if (!dungeon.isWalkable(nx, ny)) continue;
+                int n = ny * width + nx;
+                if (seen[n] == stamp) continue;
+                seen[n] = stamp;
+                parent[n] = i;
+                queue[tail++] = n;
+            }
+        }
+        return -1;
+    }
+
+    // stepTowards: walk parents back from target to the tile next to start and return that direction
+    private int stepTowards(int start, int target) {
+        int i = target;
+        while (parent[i] != start) i = parent[i];
+        int dx = i % width - start % width;
+        int dy = i / width - start / width;
+        for (int d = 0; d < 4; d++) {
+            if (DX[d] == dx && DY[d] == dy) return d;
+        }
+        return -1;
+    }
+
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+}
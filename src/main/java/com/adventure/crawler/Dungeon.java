@@ -13,6 +13,7 @@ public class Dungeon {
     private final List<Item> items;
     private int startX;
     private int startY;
+    private int roomCount;
 
     // Constructor initializes map with all walls; generator will carve floors/rooms.
     public Dungeon(int width, int height) {
@@ -69,6 +70,10 @@ public class Dungeon {
     public int getStartX() { return startX; }
     public int getStartY() { return startY; }
 
+    // Number of rooms carved by the generator (1 when it fell back to the single center room)
+    public void setRoomCount(int roomCount) { this.roomCount = roomCount; }
+    public int getRoomCount() { return roomCount; }
+
     // Check if a tile is occupied by a living enemy
     public boolean isOccupiedByEnemy(int x, int y) {
         for (Enemy e : enemies) {
@@ -93,6 +98,44 @@ public class Dungeon {
         return null;
     }
 
-    // Remove an item (called after pickup)
-    public void removeItem(Item item) { items.remove(item); }
+    // Return the list index of the item at location or -1 (recorded in PICKUP events)
+    public int getItemIndexAt(int x, int y) {
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            if (item.getX() == x && item.getY() == y) return i;
+        }
+        return -1;
+    }
+
+    // applyTurnEvents: end-of-turn batch. Drops every item picked up this turn and every enemy that died,
+    // compacting each list in a single pass instead of one ArrayList.remove per event. PICKUP indices refer
+    // to the item list as it was during the turn, so this must run once, after all actors have acted.
+    public void applyTurnEvents(TurnEvents events) {
+        int pickups = 0;
+        int deaths = 0;
+        for (int i = 0; i < events.size(); i++) {
+            switch (events.type(i)) {
+                case TurnEvents.PICKUP -> { items.set(events.value(i), null); pickups++; }
+                case TurnEvents.ENEMY_DEATH -> deaths++;
+                default -> {}
+            }
+        }
+        if (pickups > 0) removeNulls(items);
+        if (deaths > 0) {
+            for (int i = 0; i < enemies.size(); i++) {
+                if (!enemies.get(i).isAlive()) enemies.set(i, null);
+            }
+            removeNulls(enemies);
+        }
+    }
+
+    // removeNulls: slide the remaining entries down over the removed slots, then trim the tail from the end
+    private static <T> void removeNulls(List<T> list) {
+        int write = 0;
+        for (int read = 0; read < list.size(); read++) {
+            T value = list.get(read);
+            if (value != null) list.set(write++, value);
+        }
+        for (int i = list.size() - 1; i >= write; i--) list.remove(i);
+    }
 }
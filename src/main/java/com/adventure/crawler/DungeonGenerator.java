@@ -17,25 +17,27 @@ public final class DungeonGenerator {
     // roughly specified by desiredEnemies/desireItems. Algorithm: place random non-overlapping rooms, connect
     // them with L-shaped corridors, set the player start as the center of the first room, then scatter enemies/items.
     public static Dungeon generate(int width, int height, long seed, int desiredEnemies, int desiredItems) {
+        return generate(width, height, seed, desiredEnemies, desiredItems, 10);
+    }
+
+    // generate: same as above but with up to maxRooms rooms, for large maps (e.g. load tests). Attempt and placement
+    // budgets scale with the requested counts; with the defaults they match the original 200/500 exactly.
+    public static Dungeon generate(int width, int height, long seed, int desiredEnemies, int desiredItems, int maxRooms) {
         Random rng = new Random(seed);
         Dungeon dungeon = new Dungeon(width, height);
 
         List<Rect> rooms = new ArrayList<>();
         int attempts = 0;
-        int maxAttempts = 200;
-        // Try to create up to 10 rooms with a bounded number of attempts
-        while (rooms.size() < 10 && attempts < maxAttempts) {
+        int maxAttempts = maxRooms * 20;
+        // Try to create up to maxRooms rooms with a bounded number of attempts
+        while (rooms.size() < maxRooms && attempts < maxAttempts) {
             attempts++;
             int w = rng.nextInt(MAX_ROOM_SIZE - MIN_ROOM_SIZE + 1) + MIN_ROOM_SIZE;
             int h = rng.nextInt(MAX_ROOM_SIZE - MIN_ROOM_SIZE + 1) + MIN_ROOM_SIZE;
             int x = rng.nextInt(Math.max(1, width - w - 1)) + 1;
             int y = rng.nextInt(Math.max(1, height - h - 1)) + 1;
             Rect room = new Rect(x, y, w, h);
-            boolean overlaps = false;
-            for (Rect r : rooms) {
-                if (room.intersects(r)) { overlaps = true; break; }
-            }
-            if (!overlaps) {
+            if (!overlaps(dungeon, rooms, room)) {
                 rooms.add(room);
                 carveRoom(dungeon, room);
             }
@@ -47,6 +49,7 @@ public final class DungeonGenerator {
             rooms.add(center);
             carveRoom(dungeon, center);
         }
+        dungeon.setRoomCount(rooms.size());
 
         // Connect rooms to ensure a traversable dungeon
         connectRooms(dungeon, rooms, rng);
@@ -57,39 +60,66 @@ public final class DungeonGenerator {
         int startY = startRoom.centerY();
         dungeon.setStart(startX, startY);
 
+        // Occupancy grids (y * width + x) so placement stays O(1) per attempt however many entities are placed
+        boolean[] enemyAt = new boolean[width * height];
+        boolean[] itemAt = new boolean[width * height];
+
         // Place enemies randomly on walkable, unoccupied tiles, avoiding immediate start vicinity
         int placedEnemies = 0;
         int safety = 0;
-        while (placedEnemies < desiredEnemies && safety < 500) {
+        int maxSafety = Math.max(500, desiredEnemies * 20);
+        while (placedEnemies < desiredEnemies && safety < maxSafety) {
             safety++;
             int x = rng.nextInt(width);
             int y = rng.nextInt(height);
-            if ((x == startX && y == startY) || !dungeon.isWalkable(x, y) || dungeon.isOccupiedByEnemy(x, y)) continue;
+            if ((x == startX && y == startY) || !dungeon.isWalkable(x, y) || enemyAt[y * width + x]) continue;
             if (distanceManhattan(x, y, startX, startY) < 3) continue;
             int hp = 6 + rng.nextInt(7); // 6-12
             int atk = 2 + rng.nextInt(3); // 2-4
             char g = rng.nextBoolean() ? 'g' : 's'; // goblin or slime glyph
             dungeon.addEnemy(new Enemy(x, y, hp, atk, g));
+            enemyAt[y * width + x] = true;
             placedEnemies++;
         }
 
         // Place items randomly on walkable tiles
         int placedItems = 0;
         safety = 0;
-        while (placedItems < desiredItems && safety < 500) {
+        maxSafety = Math.max(500, desiredItems * 20);
+        while (placedItems < desiredItems && safety < maxSafety) {
             safety++;
             int x = rng.nextInt(width);
             int y = rng.nextInt(height);
             if (!dungeon.isWalkable(x, y) || (x == startX && y == startY)) continue;
-            if (dungeon.getItemAt(x, y) != null) continue;
+            if (itemAt[y * width + x]) continue;
             Item.Type type = rng.nextBoolean() ? Item.Type.POTION : Item.Type.TREASURE;
             dungeon.addItem(new Item(x, y, type));
+            itemAt[y * width + x] = true;
             placedItems++;
         }
 
         return dungeon;
     }
 
+    // overlaps: whether room intersects any room placed so far. While rooms are being placed the FLOOR tiles are
+    // exactly the carved rooms, so on maps large enough that every room lies fully inside the bounds it is enough
+    // to look for FLOOR under the new rect; this keeps the check independent of the room count. Smaller maps can
+    // clip rooms at the edge, so there every room is compared instead.
+    private static boolean overlaps(Dungeon d, List<Rect> rooms, Rect room) {
+        if (d.getWidth() >= MAX_ROOM_SIZE + 2 && d.getHeight() >= MAX_ROOM_SIZE + 2) {
+            for (int y = room.y; y < room.y + room.h; y++) {
+                for (int x = room.x; x < room.x + room.w; x++) {
+                    if (d.getTile(x, y) == Tile.FLOOR) return true;
+                }
+            }
+            return false;
+        }
+        for (Rect r : rooms) {
+            if (room.intersects(r)) return true;
+        }
+        return false;
+    }
+
     // carveRoom: set all tiles in the rect to FLOOR
     private static void carveRoom(Dungeon d, Rect r) {
         for (int y = r.y; y < r.y + r.h; y++) {
@@ -99,9 +129,9 @@ public final class DungeonGenerator {
         }
     }
 
-    // carveCorridor: make an L-shaped corridor between two points, randomizing orientation
-    private static void carveCorridor(Dungeon d, int x1, int y1, int x2, int y2) {
-        if (new Random().nextBoolean()) {
+    // carveCorridor: make an L-shaped corridor between two points, randomizing orientation with the seeded RNG
+    private static void carveCorridor(Dungeon d, int x1, int y1, int x2, int y2, Random rng) {
+        if (rng.nextBoolean()) {
             carveH(d, x1, x2, y1);
             carveV(d, y1, y2, x2);
         } else {
@@ -135,7 +165,7 @@ public final class DungeonGenerator {
         for (int i = 0; i < ordered.size() - 1; i++) {
             Rect r1 = ordered.get(i);
             Rect r2 = ordered.get(i + 1);
-            carveCorridor(d, r1.centerX(), r1.centerY(), r2.centerX(), r2.centerY());
+            carveCorridor(d, r1.centerX(), r1.centerY(), r2.centerX(), r2.centerY(), rng);
         }
     }
 
@@ -5,6 +5,9 @@ import java.util.Random;
 // Enemy represents a simple AI-controlled opponent with position, HP, attack power and a glyph for rendering.
 // It contains logic to chase the player when nearby, wander otherwise, and attack when adjacent.
 public class Enemy {
+    // Per-axis step choices for wandering, shared to avoid allocating on every turn
+    private static final int[] WANDER_STEPS = { -1, 0, 1 };
+
     private int x;
     private int y;
     private int hp;
@@ -32,6 +35,14 @@ public class Enemy {
         this.hp -= amount;
     }
 
+    // Apply damage and record it (and a death, if this blow was fatal) in the turn's events
+    public void damage(int amount, TurnEvents events) {
+        boolean wasAlive = isAlive();
+        damage(amount);
+        events.record(TurnEvents.ENEMY_DAMAGE, amount);
+        if (wasAlive && !isAlive()) events.record(TurnEvents.ENEMY_DEATH, 0);
+    }
+
     // takeTurn: very simple AI. If adjacent to the player, attack. If within chase range (manhattan <= 8),
     // attempt to move closer prioritizing the larger axis; otherwise pick a small random step to wander.
     private boolean tryMove(Dungeon dungeon, int nx, int ny) {
@@ -42,7 +53,7 @@ public class Enemy {
         return false;
     }
 
-    public void takeTurn(Dungeon dungeon, Player player, Random rng) {
+    public void takeTurn(Dungeon dungeon, Player player, Random rng, TurnEvents events) {
         if (!isAlive()) return;
         int dx = player.getX() - x;
         int dy = player.getY() - y;
@@ -50,7 +61,7 @@ public class Enemy {
 
         // If adjacent, attack the player
         if (dist == 1) {
-            player.damage(attack);
+            player.damage(attack, events);
             return;
         }
 
@@ -72,9 +83,8 @@ public class Enemy {
 
         // If not moved by chasing logic, wander randomly (small step, avoid diagonals)
         if (!moved) {
-            int[] choices = new int[] { -1, 0, 1 };
-            int rx = choices[rng.nextInt(3)];
-            int ry = choices[rng.nextInt(3)];
+            int rx = WANDER_STEPS[rng.nextInt(3)];
+            int ry = WANDER_STEPS[rng.nextInt(3)];
             if (Math.abs(rx) != Math.abs(ry)) { // avoid diagonal
                 tryMove(dungeon, x + rx, y + ry);
             }
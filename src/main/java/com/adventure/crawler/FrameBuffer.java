@@ -0,0 +1,165 @@
+package com.adventure.crawler;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// FrameBuffer: console backend used by Renderer. Owns a byte buffer preallocated from the dungeon dimensions,
+// composes each frame (clear-screen sequence, map rows, HUD, message) straight into it as ASCII bytes and hands
+// the whole frame to stdout in a single write. Once sized, drawing a frame allocates nothing.
+public final class FrameBuffer {
+    // ANSI clear screen sequence (works in many terminals), emitted at the start of every frame
+    private static final byte[] CLEAR = ascii("\033[H\033[2J");
+    private static final byte[] HUD_HP = ascii("HP:");
+    private static final byte[] HUD_POTIONS = ascii("  Potions:");
+    private static final byte[] HUD_GOLD = ascii("  Gold:");
+    private static final byte[] HUD_CONTROLS = ascii("  (WASD move, F attack, E drink, Q save+quit)\n");
+    // Room left after the map for the HUD and one message line; the buffer grows if a message is longer
+    private static final int TEXT_RESERVE = 256;
+
+    private final int width;
+    private final int height;
+    // Unbuffered stream on the stdout file descriptor: each write is handed to the OS as-is
+    private final FileOutputStream out = new FileOutputStream(FileDescriptor.out);
+    // Reused scratch for messages produced by TurnEvents
+    private final StringBuilder message = new StringBuilder();
+    private byte[] buf;
+    private int len;
+
+    // Allocate a frame buffer for a width x height map
+    public FrameBuffer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.buf = new byte[CLEAR.length + height * (width + 1) + TEXT_RESERVE];
+    }
+
+    // Whether this buffer was sized for the given dungeon
+    public boolean fits(Dungeon dungeon) {
+        return dungeon.getWidth() == width && dungeon.getHeight() == height;
+    }
+
+    // draw: compose and write a frame with an optional fixed message line
+    public void draw(Dungeon dungeon, Player player, String text) {
+        drawMap(dungeon, player);
+        if (text != null && !text.isEmpty()) {
+            putText(text);
+            put((byte) '\n');
+        }
+        flush();
+    }
+
+    // draw: compose and write a frame whose message line is built from the turn's events
+    public void draw(Dungeon dungeon, Player player, TurnEvents events) {
+        drawMap(dungeon, player);
+        message.setLength(0);
+        if (events.appendMessage(message)) {
+            putText(message);
+            put((byte) '\n');
+        }
+        flush();
+    }
+
+    // drawMap: clear sequence, map rows and HUD line. Rows are filled with tile glyphs first, then items,
+    // enemies and the player are stamped on top, giving the ordering player > enemy > item > tile.
+    private void drawMap(Dungeon dungeon, Player player) {
+        len = 0;
+        put(CLEAR);
+        int mapStart = len;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                buf[len++] = (byte) dungeon.getTile(x, y).glyph;
+            }
+            buf[len++] = '\n';
+        }
+        // Walk lists back to front so the first entity on a tile wins, as with Dungeon.getItemAt/getEnemyAt
+        List<Item> items = dungeon.getItems();
+        for (int i = items.size() - 1; i >= 0; i--) {
+            Item item = items.get(i);
+            plot(mapStart, item.getX(), item.getY(), item.getGlyph());
+        }
+        List<Enemy> enemies = dungeon.getEnemies();
+        for (int i = enemies.size() - 1; i >= 0; i--) {
+            Enemy e = enemies.get(i);
+            if (e.isAlive()) plot(mapStart, e.getX(), e.getY(), e.getGlyph());
+        }
+        plot(mapStart, player.getX(), player.getY(), '@');
+
+        // Single-line HUD with core player stats and control hints
+        put(HUD_HP);
+        putInt(player.getHp());
+        put(HUD_POTIONS);
+        putInt(player.getPotions());
+        put(HUD_GOLD);
+        putInt(player.getTreasure());
+        put(HUD_CONTROLS);
+    }
+
+    // Overwrite the map cell at (x, y); positions outside the map are ignored
+    private void plot(int mapStart, int x, int y, char glyph) {
+        if (x < 0 || y < 0 || x >= width || y >= height) return;
+        buf[mapStart + y * (width + 1) + x] = toAscii(glyph);
+    }
+
+    // Write the composed frame with one call. System.out is flushed first so anything printed through it
+    // earlier still appears before this frame.
+    private void flush() {
+        System.out.flush();
+        try {
+            out.write(buf, 0, len);
+        } catch (IOException e) {
+            System.err.println("Failed to render: " + e.getMessage());
+        }
+    }
+
+    private void put(byte b) {
+        ensureCapacity(1);
+        buf[len++] = b;
+    }
+
+    private void put(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buf, len, bytes.length);
+        len += bytes.length;
+    }
+
+    private void putText(CharSequence text) {
+        ensureCapacity(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buf[len++] = toAscii(text.charAt(i));
+        }
+    }
+
+    // putInt: decimal digits without going through String
+    private void putInt(int value) {
+        ensureCapacity(11);
+        long v = value;
+        if (v < 0) { buf[len++] = '-'; v = -v; }
+        int start = len;
+        do {
+            buf[len++] = (byte) ('0' + v % 10);
+            v /= 10;
+        } while (v > 0);
+        for (int i = start, j = len - 1; i < j; i++, j--) {
+            byte t = buf[i]; buf[i] = buf[j]; buf[j] = t;
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (len + extra > buf.length) {
+            byte[] grown = new byte[Math.max(buf.length * 2, len + extra)];
+            System.arraycopy(buf, 0, grown, 0, len);
+            buf = grown;
+        }
+    }
+
+    // All glyphs and messages are ASCII; anything else is shown as '?'
+    private static byte toAscii(char c) {
+        return c < 0x80 ? (byte) c : (byte) '?';
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
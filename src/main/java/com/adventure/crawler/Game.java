@@ -7,12 +7,14 @@ import java.util.Random;
 // Handles loading/saving via SaveManager, bootstraps Dungeon and Player,
 // processes user input, advances enemy turns, and renders state via Renderer.
 public class Game {
-    private static final int DEFAULT_WIDTH = 50;
-    private static final int DEFAULT_HEIGHT = 22;
+    static final int DEFAULT_WIDTH = 50;
+    static final int DEFAULT_HEIGHT = 22;
+    static final int DEFAULT_ENEMIES = 10;
+    static final int DEFAULT_ITEMS = 10;
 
     // main: program entry. Loads save state if present, otherwise creates a new dungeon and player.
     // Runs the input loop (Console or System.in fallback), handles player actions, then enemy turns,
-    // and re-renders after each step. On death writes high score and deletes save to enforce permadeath.
+    // and re-renders after each step. On death records the run on the leaderboard and deletes save to enforce permadeath.
     public static void main(String[] args) throws Exception {
         boolean newRun = true;
         SaveManager.GameState loaded = SaveManager.load();
@@ -21,25 +23,30 @@ public class Game {
         int height = DEFAULT_HEIGHT;
         Player player;
         Dungeon dungeon;
+        // Turns taken so far this run, recorded on the leaderboard
+        int turns = 0;
 
         // If a saved game exists, restore seed, size and player state
         if (loaded != null) {
             seed = loaded.seed;
             width = loaded.width;
             height = loaded.height;
-            dungeon = DungeonGenerator.generate(width, height, seed, 10, 10);
+            dungeon = DungeonGenerator.generate(width, height, seed, DEFAULT_ENEMIES, DEFAULT_ITEMS);
             player = new Player(loaded.playerX, loaded.playerY);
             player.setHp(loaded.playerHp);
             player.setPotions(loaded.playerPotions);
             player.setTreasure(loaded.playerTreasure);
+            turns = loaded.turns;
             newRun = false;
         } else {
             // Fresh run: generate a dungeon and place player at the start
-            dungeon = DungeonGenerator.generate(width, height, seed, 10, 10);
+            dungeon = DungeonGenerator.generate(width, height, seed, DEFAULT_ENEMIES, DEFAULT_ITEMS);
             player = new Player(dungeon.getStartX(), dungeon.getStartY());
         }
 
         Random rng = new Random(seed);
+        // Reused every turn: actors record into it, then the dungeon and renderer consume it
+        TurnEvents events = new TurnEvents();
 
         String message = newRun ? "Welcome to Adventure Crawler!" : "Loaded saved run.";
         Renderer.render(dungeon, player, message);
@@ -55,14 +62,17 @@ public class Game {
                 char key = (char) c;
                 if (key == '\n' || key == '\r') continue;
 
-                // handleInput applies the player's action and returns a message for the next render
-                message = handleInput(key, player, dungeon, rng, seed);
+                // handleInput applies the player's action and records what happened this turn
+                events.clear();
+                handleInput(key, player, dungeon, seed, turns, events);
+                turns++;
 
-                // Advance enemy behaviour after the player acts
-                enemyTurns(dungeon, player, rng);
+                // Advance enemy behaviour after the player acts, then apply the turn's batched removals
+                enemyTurns(dungeon, player, rng, events);
+                dungeon.applyTurnEvents(events);
 
-                // redraw the game state
-                Renderer.render(dungeon, player, message);
+                // redraw the game state; the message is derived from the turn's events
+                Renderer.render(dungeon, player, events);
                 if (!player.isAlive()) break;
             }
         } else {
@@ -71,16 +81,19 @@ public class Game {
                 String line = console.readLine("");
                 if (line == null || line.isEmpty()) continue;
                 char key = Character.toLowerCase(line.charAt(0));
-                message = handleInput(key, player, dungeon, rng, seed);
-                enemyTurns(dungeon, player, rng);
-                Renderer.render(dungeon, player, message);
+                events.clear();
+                handleInput(key, player, dungeon, seed, turns, events);
+                turns++;
+                enemyTurns(dungeon, player, rng, events);
+                dungeon.applyTurnEvents(events);
+                Renderer.render(dungeon, player, events);
             }
         }
 
-        // Game over: record high score and delete save to enforce permadeath
+        // Game over: record the run on the leaderboard and delete save to enforce permadeath
         int currentScore = player.getTreasure();
-        int high = SaveManager.readHighScore();
-        if (currentScore > high) SaveManager.writeHighScore(currentScore);
+        Leaderboard.record(new Leaderboard.Run(seed, currentScore, turns, System.currentTimeMillis()));
+        int high = Leaderboard.bestScore();
         System.out.println("\nYou died! Score: " + currentScore + "  High Score: " + Math.max(high, currentScore));
         java.io.File f = new java.io.File("saves/save.txt");
         if (f.exists()) f.delete();
@@ -88,8 +101,8 @@ public class Game {
 
     // handleInput: maps keypresses to game actions.
     // Movement keys (WASD) call Player.moveBy; F attacks adjacent enemies; E drinks potion; Q saves and exits.
-    // Returns a short message to display on the next render.
-    private static String handleInput(char key, Player player, Dungeon dungeon, Random rng, long seed) {
+    // Outcomes are recorded in events; the renderer builds the message for the next frame from them.
+    static void handleInput(char key, Player player, Dungeon dungeon, long seed, int turns, TurnEvents events) {
         key = Character.toLowerCase(key);
         int dx = 0, dy = 0;
         switch (key) {
@@ -98,18 +111,12 @@ public class Game {
             case 'a' -> dx = -1;
             case 'd' -> dx = 1;
             case 'f' -> { // attack into facing direction (simple: try each adjacent)
-                StringBuilder sb = new StringBuilder();
-                int[][] dirs = { {1,0}, {-1,0}, {0,1}, {0,-1} };
-                int hits = 0;
-                for (int[] dir : dirs) {
-                    Enemy e = dungeon.getEnemyAt(player.getX()+dir[0], player.getY()+dir[1]);
-                    if (e != null && e.isAlive()) { e.damage(5); hits++; }
-                }
-                return hits > 0 ? "You swing and hit " + hits + " foe(s)!" : "You swing at nothing.";
+                player.swing(dungeon, events);
+                return;
             }
             case 'e' -> {
-                boolean did = player.drinkPotion();
-                return did ? "You drink a potion and feel better." : "No potions to drink.";
+                player.drinkPotion(events);
+                return;
             }
             case 'q' -> {
                 // Save current game state and exit
@@ -120,6 +127,7 @@ public class Game {
                 s.playerHp = player.getHp();
                 s.playerPotions = player.getPotions();
                 s.playerTreasure = player.getTreasure();
+                s.turns = turns;
                 SaveManager.save(s);
                 System.out.println("Saved. Bye!");
                 System.exit(0);
@@ -127,18 +135,15 @@ public class Game {
             default -> {}
         }
         if (dx != 0 || dy != 0) {
-            // Attempt to move the player; moveBy handles combat/loot on tile
-            boolean acted = player.moveBy(dungeon, dx, dy);
-            if (!acted) return "You bump into a wall.";
-            return "";
+            // Attempt to move the player; moveBy handles combat/loot on tile and records a bump on walls
+            player.moveBy(dungeon, dx, dy, events);
         }
-        return "";
     }
 
     // enemyTurns: iterate all enemies and let them perform their AI-driven actions for the turn.
-    private static void enemyTurns(Dungeon dungeon, Player player, Random rng) {
+    static void enemyTurns(Dungeon dungeon, Player player, Random rng, TurnEvents events) {
         for (Enemy e : dungeon.getEnemies()) {
-            e.takeTurn(dungeon, player, rng);
+            e.takeTurn(dungeon, player, rng, events);
         }
     }
 }
@@ -0,0 +1,435 @@
+package com.adventure.crawler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Leaderboard: file-based store of every finished run (seed, score, turns, timestamp), shared by all game processes.
+// New runs are appended to saves/leaderboard.log as fixed-size binary records. Every FLUSH_THRESHOLD runs the log is
+// sorted into a segment file (saves/leaderboard.<n>.seg) that keeps its runs twice: once ordered by score (best
+// first) for top-K queries and once ordered by seed for per-seed lookups by binary search. Segments of similar size
+// are merged FANOUT at a time, so each run is rewritten only a few times however large the store grows. Merges done
+// while recording a run are capped at MAX_SYNC_MERGE runs; bigger ones are left to compact(). Queries read a prefix
+// or a range of every segment plus the small log. Writers take an exclusive lock and readers a shared lock on
+// saves/leaderboard.lock, so concurrent runs never lose a score.
+public final class Leaderboard {
+    private Leaderboard() {}
+
+    private static final File SAVE_DIR = new File("saves");
+    private static final File LOG_FILE = new File(SAVE_DIR, "leaderboard.log");
+    private static final File LOCK_FILE = new File(SAVE_DIR, "leaderboard.lock");
+    private static final String SEGMENT_PREFIX = "leaderboard.";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    // Single-integer high score file used before the leaderboard existed; imported once, then deleted
+    private static final File LEGACY_SCORE_FILE = new File(SAVE_DIR, "highscore.txt");
+
+    // Record layout: seed (long), score (int), turns (int), timestamp (long)
+    private static final int RECORD_SIZE = 24;
+    // Segment layout: magic (int), record count (long), score-ordered section, seed-ordered section
+    private static final int SEGMENT_MAGIC = 0x4C425331; // "LBS1"
+    private static final int SEGMENT_HEADER = 12;
+    // Log size (in records) at which the log is sorted into a new segment
+    private static final int FLUSH_THRESHOLD = 4096;
+    // Number of same-tier segments merged into one segment of the next tier
+    private static final int FANOUT = 4;
+    // Largest merge (in records) done inside record(); keeps a game's end-of-run write bounded
+    private static final long MAX_SYNC_MERGE = FLUSH_THRESHOLD * 16L;
+
+    // Best first: higher score, then fewer turns, then earlier. Seed last so equal records sort together.
+    public static final Comparator<Run> BY_SCORE = Comparator.comparingInt(Run::score).reversed()
+            .thenComparingInt(Run::turns)
+            .thenComparingLong(Run::timestamp)
+            .thenComparingLong(Run::seed);
+    // Grouped by seed, best run first within a seed
+    public static final Comparator<Run> BY_SEED = Comparator.comparingLong(Run::seed).thenComparing(BY_SCORE);
+
+    // Run: one finished game
+    public record Run(long seed, int score, int turns, long timestamp) {}
+
+    // Segment: one sorted segment file with its sequence number and record count
+    private record Segment(File file, long seq, long count) {}
+
+    // record: append a finished run to the log. A full log is flushed into a new segment and small segments are
+    // merged, all bounded in size; larger merges wait for compact().
+    public static synchronized void record(Run run) {
+        SaveManager.ensureSaveDir();
+        // The lock is released when the channel is closed with lockFile
+        try (RandomAccessFile lockFile = new RandomAccessFile(LOCK_FILE, "rw")) {
+            lockFile.getChannel().lock();
+            importLegacyHighScore();
+            long records;
+            try (FileChannel log = FileChannel.open(LOG_FILE.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Drop a partial record left by a writer that died mid-append so records stay aligned
+                long size = log.size() - log.size() % RECORD_SIZE;
+                log.truncate(size);
+                ByteBuffer buf = ByteBuffer.allocate(RECORD_SIZE);
+                writeRecord(buf, run);
+                buf.flip();
+                while (buf.hasRemaining()) log.write(buf, size + buf.position());
+                records = size / RECORD_SIZE + 1;
+            }
+            if (records >= FLUSH_THRESHOLD) {
+                flushLog();
+                mergeTiers(MAX_SYNC_MERGE);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to record run: " + e.getMessage());
+        }
+    }
+
+    // top: the k best runs overall, best first
+    public static synchronized List<Run> top(int k) {
+        List<Run> result = new ArrayList<>();
+        if (k <= 0) return result;
+        SaveManager.ensureSaveDir();
+        try (RandomAccessFile lockFile = new RandomAccessFile(LOCK_FILE, "rw")) {
+            lockFile.getChannel().lock(0, Long.MAX_VALUE, true);
+            List<Run> candidates = readLog();
+            for (Segment s : listSegments()) {
+                try (DataInputStream in = openSegment(s.file(), SEGMENT_HEADER)) {
+                    for (long i = 0; i < Math.min(k, s.count()); i++) candidates.add(readRecord(in));
+                }
+            }
+            return best(candidates, BY_SCORE, k);
+        } catch (IOException e) {
+            System.err.println("Failed to read leaderboard: " + e.getMessage());
+            return result;
+        }
+    }
+
+    // forSeed: the k best runs played on the given seed, best first
+    public static synchronized List<Run> forSeed(long seed, int k) {
+        List<Run> result = new ArrayList<>();
+        if (k <= 0) return result;
+        SaveManager.ensureSaveDir();
+        try (RandomAccessFile lockFile = new RandomAccessFile(LOCK_FILE, "rw")) {
+            lockFile.getChannel().lock(0, Long.MAX_VALUE, true);
+            List<Run> candidates = new ArrayList<>();
+            for (Run r : readLog()) {
+                if (r.seed() == seed) candidates.add(r);
+            }
+            for (Segment s : listSegments()) {
+                try (RandomAccessFile segment = new RandomAccessFile(s.file(), "r")) {
+                    long section = SEGMENT_HEADER + s.count() * RECORD_SIZE;
+                    // Binary search for the first record with this seed in the seed-ordered section
+                    long lo = 0, hi = s.count();
+                    while (lo < hi) {
+                        long mid = (lo + hi) >>> 1;
+                        segment.seek(section + mid * RECORD_SIZE);
+                        if (segment.readLong() < seed) lo = mid + 1; else hi = mid;
+                    }
+                    segment.seek(section + lo * RECORD_SIZE);
+                    for (long i = lo; i < s.count() && i - lo < k; i++) {
+                        Run r = readRecord(segment);
+                        if (r.seed() != seed) break;
+                        candidates.add(r);
+                    }
+                }
+            }
+            return best(candidates, BY_SCORE, k);
+        } catch (IOException e) {
+            System.err.println("Failed to read leaderboard: " + e.getMessage());
+            return result;
+        }
+    }
+
+    // bestScore: highest score ever recorded, or 0 if no runs exist yet
+    public static int bestScore() {
+        List<Run> best = top(1);
+        return best.isEmpty() ? 0 : best.get(0).score();
+    }
+
+    // compact: merge the log and every segment into a single segment. This is the only path that performs merges
+    // larger than MAX_SYNC_MERGE; run it from maintenance tooling rather than from a game.
+    public static synchronized void compact() {
+        SaveManager.ensureSaveDir();
+        try (RandomAccessFile lockFile = new RandomAccessFile(LOCK_FILE, "rw")) {
+            lockFile.getChannel().lock();
+            List<Segment> segments = listSegments();
+            List<Run> fresh = readLog();
+            if (segments.size() + (fresh.isEmpty() ? 0 : 1) <= 1) return;
+            writeSegment(segments, fresh);
+            truncateLog();
+            deleteSegments(segments);
+        } catch (IOException e) {
+            System.err.println("Failed to compact leaderboard: " + e.getMessage());
+        }
+    }
+
+    // main: maintenance entry point. "compact" merges the store into one segment; "top [k]" prints the best runs.
+    public static void main(String[] args) {
+        if (args.length >= 1 && args[0].equals("compact")) {
+            compact();
+        } else if (args.length >= 1 && args[0].equals("top")) {
+            int k = 10;
+            if (args.length >= 2) {
+                try {
+                    k = Integer.parseInt(args[1]);
+                } catch (NumberFormatException e) {
+                    usage("Not a number: " + args[1]);
+                }
+                if (k < 1) usage("k must be at least 1");
+            }
+            for (Run r : top(k)) {
+                System.out.println(r.score() + " gold  seed " + r.seed() + "  " + r.turns() + " turns");
+            }
+        } else {
+            usage(args.length == 0 ? "Missing command" : "Unknown command: " + args[0]);
+        }
+    }
+
+    // usage: report a command line problem with the usage line and exit with status 2
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: Leaderboard compact | top [k]");
+        System.exit(2);
+    }
+
+    // flushLog: sort the log into a new segment and empty it. Must hold the exclusive lock. If the process dies
+    // between writing the segment and truncating the log, the log's runs exist twice; exact duplicates are dropped
+    // by every merge and query, so nothing is counted twice.
+    private static void flushLog() throws IOException {
+        List<Run> fresh = readLog();
+        if (fresh.isEmpty()) return;
+        writeSegment(List.of(), fresh);
+        truncateLog();
+    }
+
+    // mergeTiers: while some tier holds FANOUT segments whose merge stays within limit records, merge the oldest
+    // FANOUT of them into one. A segment's tier is how many FANOUT-fold steps above FLUSH_THRESHOLD its size is.
+    // Must hold the exclusive lock.
+    private static void mergeTiers(long limit) throws IOException {
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            List<Segment> segments = listSegments();
+            for (int tier = 0; !merged && tier < 64; tier++) {
+                List<Segment> group = new ArrayList<>();
+                long total = 0;
+                for (Segment s : segments) {
+                    if (tierOf(s.count()) != tier) continue;
+                    group.add(s);
+                    total += s.count();
+                    if (group.size() == FANOUT) break;
+                }
+                if (group.size() == FANOUT && total <= limit) {
+                    writeSegment(group, List.of());
+                    deleteSegments(group);
+                    merged = true;
+                }
+            }
+        }
+    }
+
+    private static int tierOf(long count) {
+        int tier = 0;
+        for (long cap = FLUSH_THRESHOLD; count > cap; cap *= FANOUT) tier++;
+        return tier;
+    }
+
+    // writeSegment: stream-merge the input segments and the fresh runs into a new segment, section by section,
+    // writing next to the final name and renaming it into place. Only fresh runs are held in memory; exact
+    // duplicates are dropped. Must hold the exclusive lock.
+    private static void writeSegment(List<Segment> inputs, List<Run> fresh) throws IOException {
+        long seq = 0;
+        for (Segment s : listSegments()) seq = Math.max(seq, s.seq() + 1);
+        File target = new File(SAVE_DIR, SEGMENT_PREFIX + seq + SEGMENT_SUFFIX);
+        File tmp = new File(SAVE_DIR, target.getName() + ".tmp");
+        List<Run> sorted = new ArrayList<>(fresh);
+        try (RandomAccessFile file = new RandomAccessFile(tmp, "rw")) {
+            file.setLength(0);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file.getFD()), 1 << 16));
+            out.writeInt(SEGMENT_MAGIC);
+            out.writeLong(0); // patched below once duplicates have been dropped
+            sorted.sort(BY_SCORE);
+            long count = mergeSection(inputs, false, sorted, BY_SCORE, out);
+            sorted.sort(BY_SEED);
+            mergeSection(inputs, true, sorted, BY_SEED, out);
+            out.flush();
+            file.seek(4);
+            file.writeLong(count);
+            file.getFD().sync();
+        }
+        Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // mergeSection: k-way merge of one section (score- or seed-ordered) of every input segment with the sorted fresh
+    // runs into out. Returns the number of records written.
+    private static long mergeSection(List<Segment> inputs, boolean seedSection, List<Run> fresh, Comparator<Run> order,
+                                     DataOutputStream out) throws IOException {
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(1, inputs.size() + 1),
+                (a, b) -> order.compare(a.current, b.current));
+        List<Cursor> cursors = new ArrayList<>();
+        try {
+            for (Segment s : inputs) {
+                long offset = SEGMENT_HEADER + (seedSection ? s.count() * RECORD_SIZE : 0);
+                Cursor c = new Cursor(openSegment(s.file(), offset), s.count());
+                cursors.add(c);
+                if (c.advance()) heap.add(c);
+            }
+            Cursor f = new Cursor(fresh.iterator());
+            if (f.advance()) heap.add(f);
+
+            long written = 0;
+            Run last = null;
+            while (!heap.isEmpty()) {
+                Cursor c = heap.poll();
+                Run next = c.current;
+                if (c.advance()) heap.add(c);
+                if (next.equals(last)) continue;
+                writeRecord(out, next);
+                last = next;
+                written++;
+            }
+            return written;
+        } finally {
+            for (Cursor c : cursors) c.in.close();
+        }
+    }
+
+    // Cursor: reads one sorted run sequence, either a segment section or an in-memory list
+    private static final class Cursor {
+        final DataInputStream in;
+        final Iterator<Run> it;
+        long remaining;
+        Run current;
+
+        Cursor(DataInputStream in, long count) { this.in = in; this.it = null; this.remaining = count; }
+        Cursor(Iterator<Run> it) { this.in = null; this.it = it; }
+
+        // Move to the next run; false once the sequence is exhausted
+        boolean advance() throws IOException {
+            if (it != null) {
+                current = it.hasNext() ? it.next() : null;
+            } else {
+                current = remaining > 0 ? readRecord(in) : null;
+                remaining--;
+            }
+            return current != null;
+        }
+    }
+
+    // importLegacyHighScore: carry the old single high score over as a run on seed 0 the first time the
+    // leaderboard is written. Must hold the exclusive lock.
+    private static void importLegacyHighScore() throws IOException {
+        if (!LEGACY_SCORE_FILE.exists() || LOG_FILE.exists() || !listSegments().isEmpty()) return;
+        int score = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(LEGACY_SCORE_FILE))) {
+            String line = br.readLine();
+            if (line != null) score = Integer.parseInt(line.trim());
+        } catch (NumberFormatException e) {
+            score = 0;
+        }
+        if (score > 0) {
+            try (DataOutputStream out = new DataOutputStream(new FileOutputStream(LOG_FILE))) {
+                writeRecord(out, new Run(0, score, 0, LEGACY_SCORE_FILE.lastModified()));
+            }
+        }
+        LEGACY_SCORE_FILE.delete();
+    }
+
+    // readLog: all complete records currently in the log, in append order
+    private static List<Run> readLog() throws IOException {
+        List<Run> runs = new ArrayList<>();
+        if (!LOG_FILE.exists()) return runs;
+        long records = LOG_FILE.length() / RECORD_SIZE;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(LOG_FILE)))) {
+            for (long i = 0; i < records; i++) runs.add(readRecord(in));
+        } catch (EOFException e) {
+            // log was truncated underneath us by a crashed writer; keep what was read
+        }
+        return runs;
+    }
+
+    private static void truncateLog() throws IOException {
+        try (RandomAccessFile log = new RandomAccessFile(LOG_FILE, "rw")) {
+            log.setLength(0);
+        }
+    }
+
+    // listSegments: every complete segment on disk, oldest first. Leftover .tmp files and files with a bad header
+    // are ignored.
+    private static List<Segment> listSegments() throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        File[] files = SAVE_DIR.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) return segments;
+        for (File f : files) {
+            String middle = f.getName().substring(SEGMENT_PREFIX.length(), f.getName().length() - SEGMENT_SUFFIX.length());
+            long seq;
+            try {
+                seq = Long.parseLong(middle);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            try (DataInputStream in = new DataInputStream(new FileInputStream(f))) {
+                if (in.readInt() != SEGMENT_MAGIC) continue;
+                segments.add(new Segment(f, seq, in.readLong()));
+            } catch (EOFException e) {
+                // truncated header; not a usable segment
+            }
+        }
+        segments.sort(Comparator.comparingLong(Segment::seq));
+        return segments;
+    }
+
+    private static void deleteSegments(List<Segment> segments) {
+        for (Segment s : segments) s.file().delete();
+    }
+
+    // openSegment: buffered stream over a segment positioned at offset
+    private static DataInputStream openSegment(File file, long offset) throws IOException {
+        FileInputStream fin = new FileInputStream(file);
+        fin.getChannel().position(offset);
+        return new DataInputStream(new BufferedInputStream(fin, 1 << 16));
+    }
+
+    // best: sort candidates, drop exact duplicates and keep the first k
+    private static List<Run> best(List<Run> candidates, Comparator<Run> order, int k) {
+        candidates.sort(order);
+        List<Run> result = new ArrayList<>();
+        Run last = null;
+        for (Run r : candidates) {
+            if (result.size() >= k) break;
+            if (r.equals(last)) continue;
+            result.add(r);
+            last = r;
+        }
+        return result;
+    }
+
+    private static Run readRecord(DataInput in) throws IOException {
+        return new Run(in.readLong(), in.readInt(), in.readInt(), in.readLong());
+    }
+
+    private static void writeRecord(DataOutput out, Run run) throws IOException {
+        out.writeLong(run.seed());
+        out.writeInt(run.score());
+        out.writeInt(run.turns());
+        out.writeLong(run.timestamp());
+    }
+
+    private static void writeRecord(ByteBuffer buf, Run run) {
+        buf.putLong(run.seed()).putInt(run.score()).putInt(run.turns()).putLong(run.timestamp());
+    }
+}
@@ -0,0 +1,186 @@
+package com.adventure.crawler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Random;
+
+// LoadTest: bot-driven stress test for the turn loop. For each enemy count it generates a dungeon sized to fit,
+// lets the Autopilot play it through Game.handleInput, Game.enemyTurns and Dungeon.applyTurnEvents (no rendering),
+// and reports turns per second, p50/p99 turn latency and bytes allocated per turn. Only the game's turn is timed;
+// the autopilot's own decision time is reported separately. The player is healed back to full when killed so a
+// scenario always runs its full length; deaths are counted instead. p99 needs at least 100 timed turns and is shown as
+// n/a otherwise, which with the default time budget is the case for the largest scenarios.
+//
+// Usage: LoadTest [--enemies 10,100,1000,10000,100000] [--turns n] [--warmup n] [--max-seconds s] [--seed n]
+//        [--width w] [--height h] [--rooms n] [--items n]
+public final class LoadTest {
+    private LoadTest() {}
+
+    // Fewest timed turns for which a p99 is reported; below this it would just be the slowest sample
+    private static final int MIN_P99_SAMPLES = 100;
+
+    // Result: measurements for one scenario
+    public static class Result {
+        public int enemies;
+        public int width;
+        public int height;
+        public int turns;
+        public double turnsPerSecond;
+        public double p50Millis;
+        public double p99Millis = -1; // -1 if there were fewer than MIN_P99_SAMPLES timed turns
+        public double maxMillis;
+        public long bytesPerTurn = -1; // -1 if the JVM cannot report per-thread allocation
+        public double thinkMillis;
+        public int deaths;
+    }
+
+    // run: play one scenario. width/height/rooms of 0 are derived from the enemy count. Stops after turns timed
+    // turns or once maxSeconds of timed turns have elapsed, whichever comes first; warmup is cut short after a
+    // quarter of that budget so very large scenarios still get measured.
+    public static Result run(int enemies, int items, int width, int height, int rooms, long seed,
+                             int warmup, int turns, double maxSeconds) {
+        // Aim for roughly 16 map tiles per enemy in the game's 2:1 aspect; rooms and corridors cover a fraction of that
+        if (width <= 0 || height <= 0) {
+            height = Math.max(Game.DEFAULT_HEIGHT, (int) Math.ceil(Math.sqrt(enemies * 8.0)));
+            width = Math.max(Game.DEFAULT_WIDTH, height * 2);
+        }
+        if (rooms <= 0) rooms = Math.max(10, width * height / 150);
+        Dungeon dungeon = DungeonGenerator.generate(width, height, seed, enemies, items, rooms);
+        Player player = new Player(dungeon.getStartX(), dungeon.getStartY());
+        Random rng = new Random(seed);
+        Autopilot pilot = new Autopilot(width, height, new Random(seed ^ 0x5DEECE66DL));
+        TurnEvents events = new TurnEvents();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocs = threads instanceof com.sun.management.ThreadMXBean t
+                && t.isThreadAllocatedMemorySupported() ? t : null;
+        if (allocs != null) allocs.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        Result r = new Result();
+        r.enemies = dungeon.getEnemies().size();
+        r.width = width;
+        r.height = height;
+        long[] latencies = new long[turns];
+        long thinkNanos = 0;
+        long timedNanos = 0;
+        long allocated = 0;
+        long warmupNanos = 0;
+        int done = 0;
+        for (int turn = -warmup; turn < turns; turn++) {
+            long thinkStart = System.nanoTime();
+            char key = pilot.nextKey(dungeon, player);
+            long start = System.nanoTime();
+            long allocStart = allocs != null ? allocs.getThreadAllocatedBytes(threadId) : 0;
+
+            events.clear();
+            Game.handleInput(key, player, dungeon, seed, turn, events);
+            Game.enemyTurns(dungeon, player, rng, events);
+            dungeon.applyTurnEvents(events);
+
+            long allocEnd = allocs != null ? allocs.getThreadAllocatedBytes(threadId) : 0;
+            long end = System.nanoTime();
+            if (!player.isAlive()) {
+                player.setHp(20);
+                if (turn >= 0) r.deaths++;
+            }
+            if (turn < 0) {
+                warmupNanos += end - start;
+                if (warmupNanos > maxSeconds * 0.25e9) turn = -1;
+                continue;
+            }
+            latencies[done++] = end - start;
+            timedNanos += end - start;
+            thinkNanos += start - thinkStart;
+            allocated += allocEnd - allocStart;
+            if (timedNanos > maxSeconds * 1e9) break;
+        }
+
+        r.turns = done;
+        if (done > 0) {
+            long[] sorted = Arrays.copyOf(latencies, done);
+            Arrays.sort(sorted);
+            r.turnsPerSecond = done / (timedNanos / 1e9);
+            r.p50Millis = percentile(sorted, 0.50) / 1e6;
+            if (done >= MIN_P99_SAMPLES) r.p99Millis = percentile(sorted, 0.99) / 1e6;
+            r.maxMillis = sorted[done - 1] / 1e6;
+            r.thinkMillis = thinkNanos / 1e6 / done;
+            if (allocs != null) r.bytesPerTurn = allocated / done;
+        }
+        return r;
+    }
+
+    // percentile: nearest-rank percentile of an ascending array
+    private static long percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank))];
+    }
+
+    // main: command line entry point; see the usage line at the top of the class
+    public static void main(String[] args) {
+        int[] enemyCounts = { 10, 100, 1000, 10000, 100000 };
+        int turns = 500;
+        int warmup = 50;
+        double maxSeconds = 30;
+        long seed = 42;
+        int width = 0, height = 0, rooms = 0;
+        int items = 50;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--enemies" -> enemyCounts = Arrays.stream(value(args, ++i).split(","))
+                            .mapToInt(Integer::parseInt).toArray();
+                    case "--turns" -> turns = Integer.parseInt(value(args, ++i));
+                    case "--warmup" -> warmup = Integer.parseInt(value(args, ++i));
+                    case "--max-seconds" -> maxSeconds = Double.parseDouble(value(args, ++i));
+                    case "--seed" -> seed = Long.parseLong(value(args, ++i));
+                    case "--width" -> width = Integer.parseInt(value(args, ++i));
+                    case "--height" -> height = Integer.parseInt(value(args, ++i));
+                    case "--rooms" -> rooms = Integer.parseInt(value(args, ++i));
+                    case "--items" -> items = Integer.parseInt(value(args, ++i));
+                    default -> usage("Unknown option: " + args[i]);
+                }
+            }
+        } catch (NumberFormatException e) {
+            usage("Not a number: " + e.getMessage());
+        }
+        if (turns < 1) usage("--turns must be at least 1");
+        if (warmup < 0) usage("--warmup must not be negative");
+        if (!(maxSeconds > 0)) usage("--max-seconds must be above 0");
+        for (int enemies : enemyCounts) {
+            if (enemies < 0) usage("--enemies counts must not be negative");
+        }
+        if (items < 0) usage("--items must not be negative");
+
+        System.out.printf("%9s %11s %7s %12s %10s %10s %10s %12s %10s %7s%n",
+                "enemies", "map", "turns", "turns/s", "p50 ms", "p99 ms", "max ms", "bytes/turn", "think ms", "deaths");
+        boolean truncated = false;
+        for (int enemies : enemyCounts) {
+            Result r = run(enemies, items, width, height, rooms, seed, warmup, turns, maxSeconds);
+            if (r.p99Millis < 0) truncated = true;
+            System.out.printf("%9d %11s %7d %12.1f %10.3f %10s %10.3f %12s %10.3f %7d%n",
+                    r.enemies, r.width + "x" + r.height, r.turns, r.turnsPerSecond, r.p50Millis,
+                    r.p99Millis < 0 ? "n/a" : String.format("%.3f", r.p99Millis), r.maxMillis,
+                    r.bytesPerTurn < 0 ? "n/a" : Long.toString(r.bytesPerTurn), r.thinkMillis, r.deaths);
+        }
+        if (truncated) {
+            System.out.println("p99 n/a: fewer than " + MIN_P99_SAMPLES + " timed turns fit in --max-seconds;"
+                    + " raise it for a meaningful tail latency");
+        }
+    }
+
+    // value: the argument following an option, or a usage error if the option is the last argument
+    private static String value(String[] args, int i) {
+        if (i >= args.length) usage("Missing value for " + args[i - 1]);
+        return args[i];
+    }
+
+    // usage: report a command line problem with the usage line and exit with status 2
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: LoadTest [--enemies 10,100,1000] [--turns n] [--warmup n]"
+                + " [--max-seconds s] [--seed n] [--width w] [--height h] [--rooms n] [--items n]");
+        System.exit(2);
+    }
+}
@@ -2,6 +2,9 @@ package com.adventure.crawler;
 
 // Represents the player character and encapsulates position, HP, inventory (potions), and treasure.
 public class Player {
+    // Orthogonal neighbour offsets checked by swing
+    private static final int[][] DIRECTIONS = { {1,0}, {-1,0}, {0,1}, {0,-1} };
+
     // Coordinates in dungeon
     private int x;
     private int y;
@@ -34,6 +37,14 @@ public class Player {
     // Apply damage to player
     public void damage(int amount) { hp -= amount; }
 
+    // Apply damage and record it (and a death, if this blow was fatal) in the turn's events
+    public void damage(int amount, TurnEvents events) {
+        boolean wasAlive = isAlive();
+        damage(amount);
+        events.record(TurnEvents.PLAYER_DAMAGE, amount);
+        if (wasAlive && !isAlive()) events.record(TurnEvents.PLAYER_DEATH, 0);
+    }
+
     // Heal the player but cap at max HP (20)
     public void heal(int amount) { hp = Math.min(20, hp + amount); }
 
@@ -54,29 +65,44 @@ public class Player {
 
     // moveBy attempts to move the player by dx,dy. If the target tile contains a living enemy,
     // the player attacks that enemy instead of moving. If the move succeeds and a collectible item
-    // is present, the player picks it up (potions/treasure) and the item is removed from dungeon.
+    // is present, the player picks it up (potions/treasure); the item is removed from the dungeon when the
+    // turn's events are applied. Every outcome is recorded in events.
     // Returns true if an action occurred (move or attack), false if blocked by a wall.
-    public boolean moveBy(Dungeon dungeon, int dx, int dy) {
+    public boolean moveBy(Dungeon dungeon, int dx, int dy, TurnEvents events) {
         int nx = x + dx;
         int ny = y + dy;
-        if (!dungeon.isWalkable(nx, ny)) return false;
+        if (!dungeon.isWalkable(nx, ny)) {
+            events.record(TurnEvents.BUMP, 0);
+            return false;
+        }
         Enemy target = dungeon.getEnemyAt(nx, ny);
         if (target != null && target.isAlive()) {
-            target.damage(attack);
+            target.damage(attack, events);
             return true;
         }
         x = nx; y = ny;
-        Item item = dungeon.getItemAt(x, y);
-        if (item != null) {
-            switch (item.getType()) {
+        int itemIndex = dungeon.getItemIndexAt(x, y);
+        if (itemIndex >= 0) {
+            switch (dungeon.getItems().get(itemIndex).getType()) {
                 case POTION -> potions++;
                 case TREASURE -> treasure++;
             }
-            dungeon.removeItem(item);
+            events.record(TurnEvents.PICKUP, itemIndex);
         }
         return true;
     }
 
+    // Attack every living enemy in the four adjacent tiles. Returns the number of foes hit.
+    public int swing(Dungeon dungeon, TurnEvents events) {
+        int hits = 0;
+        for (int[] dir : DIRECTIONS) {
+            Enemy e = dungeon.getEnemyAt(x + dir[0], y + dir[1]);
+            if (e != null && e.isAlive()) { e.damage(attack, events); hits++; }
+        }
+        events.record(TurnEvents.SWING, hits);
+        return hits;
+    }
+
     // Drink a potion if available and heal the player for a fixed amount.
     public boolean drinkPotion() {
         if (potions <= 0) return false;
@@ -84,4 +110,11 @@ public class Player {
         heal(8);
         return true;
     }
+
+    // Drink a potion and record the attempt (successful or not) in the turn's events.
+    public boolean drinkPotion(TurnEvents events) {
+        boolean did = drinkPotion();
+        events.record(TurnEvents.DRINK, did ? 1 : 0);
+        return did;
+    }
 }
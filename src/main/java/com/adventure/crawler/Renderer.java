@@ -1,49 +1,27 @@
 package com.adventure.crawler;
 
-import java.util.List;
-
 // Renderer: responsible for drawing the entire game state to the console.
 // It prints the visible map, player '@', enemy glyphs, item glyphs, and a HUD line with HP/potions/gold.
+// Frames are composed and written by a FrameBuffer that is reused for as long as the dungeon size stays the same.
 public class Renderer {
-    // render: builds a textual representation of the dungeon line-by-line and writes it to stdout.
-    // Uses simple ordering: player > enemy > item > tile glyph. Clears the terminal before printing.
+    private static FrameBuffer frame;
+
+    // render: clears the terminal and draws the map, HUD and an optional message line.
+    // Uses simple ordering: player > enemy > item > tile glyph.
     public static void render(Dungeon dungeon, Player player, String message) {
-        StringBuilder sb = new StringBuilder();
-        for (int y = 0; y < dungeon.getHeight(); y++) {
-            for (int x = 0; x < dungeon.getWidth(); x++) {
-                // Draw player on top
-                if (player.getX() == x && player.getY() == y) {
-                    sb.append('@');
-                    continue;
-                }
-                // Draw enemy if present and alive
-                Enemy e = dungeon.getEnemyAt(x, y);
-                if (e != null && e.isAlive()) {
-                    sb.append(e.getGlyph());
-                    continue;
-                }
-                // Draw item if present
-                Item item = dungeon.getItemAt(x, y);
-                if (item != null) {
-                    sb.append(item.getGlyph());
-                    continue;
-                }
-                // Fallback: draw tile glyph
-                sb.append(dungeon.getTile(x, y).glyph);
-            }
-            sb.append('\n');
-        }
-        // Append a single-line HUD with core player stats and control hints
-        sb.append("HP:").append(player.getHp())
-          .append("  Potions:").append(player.getPotions())
-          .append("  Gold:").append(player.getTreasure())
-          .append("  (WASD move, F attack, E drink, Q save+quit)\n");
-        if (message != null && !message.isEmpty()) {
-            sb.append(message).append('\n');
+        frameFor(dungeon).draw(dungeon, player, message);
+    }
+
+    // render: same frame, but the message line is built from the turn's events only now that it is drawn.
+    public static void render(Dungeon dungeon, Player player, TurnEvents events) {
+        frameFor(dungeon).draw(dungeon, player, events);
+    }
+
+    // frameFor: current frame buffer, reallocated only when the dungeon dimensions change
+    private static FrameBuffer frameFor(Dungeon dungeon) {
+        if (frame == null || !frame.fits(dungeon)) {
+            frame = new FrameBuffer(dungeon.getWidth(), dungeon.getHeight());
         }
-        // ANSI clear screen sequence (works in many terminals) then print buffer
-        System.out.print("\033[H\033[2J");
-        System.out.flush();
-        System.out.print(sb.toString());
+        return frame;
     }
 }
@@ -7,19 +7,19 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 
-// SaveManager: handles simple file-based save/load of a minimal GameState and a high score value.
+// SaveManager: handles simple file-based save/load of a minimal GameState.
 // Format is plain text with one value per line in a fixed order. Also ensures save directory exists.
+// Finished runs and high scores are kept by Leaderboard.
 public class SaveManager {
     private static final String SAVE_DIR = "saves";
     private static final String SAVE_FILE = SAVE_DIR + "/save.txt";
-    private static final String SCORE_FILE = SAVE_DIR + "/highscore.txt";
 
     // Ensure the save directory exists on disk
     public static void ensureSaveDir() {
         new File(SAVE_DIR).mkdirs();
     }
 
-    // save: write the GameState to a text file with one value per line (seed, width, height, playerX, playerY, playerHp, playerPotions, playerTreasure)
+    // save: write the GameState to a text file with one value per line (seed, width, height, playerX, playerY, playerHp, playerPotions, playerTreasure, turns)
     public static void save(GameState state) {
         ensureSaveDir();
         try (BufferedWriter bw = new BufferedWriter(new FileWriter(SAVE_FILE))) {
@@ -31,6 +31,7 @@ public class SaveManager {
             bw.write(Integer.toString(state.playerHp)); bw.newLine();
             bw.write(Integer.toString(state.playerPotions)); bw.newLine();
             bw.write(Integer.toString(state.playerTreasure)); bw.newLine();
+            bw.write(Integer.toString(state.turns)); bw.newLine();
         } catch (IOException e) {
             System.err.println("Failed to save: " + e.getMessage());
         }
@@ -50,9 +51,13 @@ public class SaveManager {
             int php = Integer.parseInt(br.readLine());
             int ppot = Integer.parseInt(br.readLine());
             int ptre = Integer.parseInt(br.readLine());
+            // Saves written before turns were tracked end here; count those runs from zero
+            String turnsLine = br.readLine();
+            int turns = turnsLine == null ? 0 : Integer.parseInt(turnsLine);
             GameState s = new GameState();
             s.seed = seed; s.width = width; s.height = height;
             s.playerX = px; s.playerY = py; s.playerHp = php; s.playerPotions = ppot; s.playerTreasure = ptre;
+            s.turns = turns;
             return s;
         } catch (IOException | NumberFormatException e) {
             System.err.println("Failed to load: " + e.getMessage());
@@ -60,28 +65,6 @@ public class SaveManager {
         }
     }
 
-    // writeHighScore: store top score as a single integer in a file
-    public static void writeHighScore(int score) {
-        ensureSaveDir();
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(SCORE_FILE))) {
-            bw.write(Integer.toString(score));
-        } catch (IOException e) {
-            System.err.println("Failed to write high score: " + e.getMessage());
-        }
-    }
-
-    // readHighScore: return stored high score or 0 if not present/parse error
-    public static int readHighScore() {
-        ensureSaveDir();
-        File f = new File(SCORE_FILE);
-        if (!f.exists()) return 0;
-        try (BufferedReader br = new BufferedReader(new FileReader(f))) {
-            return Integer.parseInt(br.readLine());
-        } catch (IOException | NumberFormatException e) {
-            return 0;
-        }
-    }
-
     // GameState: compact serializable state used by save/load
     public static class GameState {
         public long seed;
@@ -92,5 +75,6 @@ public class SaveManager {
         public int playerHp;
         public int playerPotions;
         public int playerTreasure;
+        public int turns;
     }
 }
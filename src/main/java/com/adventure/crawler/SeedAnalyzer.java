@@ -0,0 +1,332 @@
+package com.adventure.crawler;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// SeedAnalyzer: scores generated dungeons so bad seeds can be rejected before they are handed out (e.g. as daily
+// seeds). Metrics are computed with flat-array passes over the map: room count, floor ratio, BFS path length from
+// the start to every item, and how many enemies sit within a few steps of the start. The command line entry point
+// vets a seed range in parallel and streams one CSV row per seed, in seed order.
+//
+// Usage: SeedAnalyzer <fromSeed> <toSeed exclusive> [--out file.csv] [--threads n] [--width w] [--height h]
+//        [--enemies n] [--items n] [--min-rooms n] [--min-floor ratio] [--near-radius n] [--max-near n]
+//        [--allow-unreachable] [--all]
+public final class SeedAnalyzer {
+    // Seeds per work unit handed to a worker thread
+    private static final int CHUNK = 1024;
+
+    // CSV header matching Report.appendCsv
+    public static final String CSV_HEADER = "seed,passed,failure,rooms,floor_ratio,items,unreachable_items,"
+            + "max_item_path,mean_item_path,enemies_near_start,near_start_density";
+
+    // Thresholds: limits a seed must meet; failing any one rejects it
+    public static class Thresholds {
+        public int minRooms = 3;
+        public double minFloorRatio = 0.20;
+        public boolean allItemsReachable = true;
+        // Path distance from the start that counts as "near"
+        public int nearRadius = 5;
+        public int maxEnemiesNearStart = 2;
+        // Stop computing metrics for a seed at its first failure
+        public boolean earlyExit = true;
+    }
+
+    // Report: metrics for one seed. Metrics skipped by an early exit stay at -1.
+    public static class Report {
+        public long seed;
+        public String failure; // null if the seed passed
+        public int rooms = -1;
+        public double floorRatio = -1;
+        public int items = -1;
+        public int unreachableItems = -1;
+        public int maxItemPath = -1;
+        public double meanItemPath = -1;
+        public int enemiesNearStart = -1;
+        public double nearStartDensity = -1;
+
+        public boolean passed() { return failure == null; }
+
+        // appendCsv: one CSV row (no newline); skipped metrics are left empty
+        public void appendCsv(StringBuilder sb) {
+            sb.append(seed).append(',').append(passed()).append(',');
+            if (failure != null) sb.append(failure);
+            sb.append(',');
+            appendMetric(sb, rooms).append(',');
+            appendMetric(sb, floorRatio).append(',');
+            appendMetric(sb, items).append(',');
+            appendMetric(sb, unreachableItems).append(',');
+            appendMetric(sb, maxItemPath).append(',');
+            appendMetric(sb, meanItemPath).append(',');
+            appendMetric(sb, enemiesNearStart).append(',');
+            appendMetric(sb, nearStartDensity);
+        }
+
+        private static StringBuilder appendMetric(StringBuilder sb, int v) {
+            return v < 0 ? sb : sb.append(v);
+        }
+
+        private static StringBuilder appendMetric(StringBuilder sb, double v) {
+            // Four decimals without String.format
+            return v < 0 ? sb : sb.append(Math.round(v * 10000) / 10000.0);
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final int enemies;
+    private final int items;
+    private final Thresholds thresholds;
+    // Scratch arrays indexed by y * width + x, reused for every seed analyzed by this instance
+    private final boolean[] walkable;
+    private final int[] dist;
+    private final int[] queue;
+
+    // Create an analyzer for dungeons generated with the given size and enemy/item counts.
+    // Instances are not thread-safe; use one per thread.
+    public SeedAnalyzer(int width, int height, int enemies, int items, Thresholds thresholds) {
+        this.width = width;
+        this.height = height;
+        this.enemies = enemies;
+        this.items = items;
+        this.thresholds = thresholds;
+        this.walkable = new boolean[width * height];
+        this.dist = new int[width * height];
+        this.queue = new int[width * height];
+    }
+
+    // analyze: generate the dungeon for seed exactly as a new game would and score it
+    public Report analyze(long seed) {
+        Report r = analyze(DungeonGenerator.generate(width, height, seed, enemies, items));
+        r.seed = seed;
+        return r;
+    }
+
+    // analyze: score an already generated dungeon. Cheap checks run first so an early exit skips the BFS.
+    public Report analyze(Dungeon d) {
+        Report r = new Report();
+        if (d.getWidth() != width || d.getHeight() != height) {
+            throw new IllegalArgumentException("Analyzer sized for " + width + "x" + height
+                    + ", got " + d.getWidth() + "x" + d.getHeight());
+        }
+
+        // Room count: 1 means the generator fell back to the single center room
+        r.rooms = d.getRoomCount();
+        if (r.rooms < thresholds.minRooms && fail(r, "rooms")) return r;
+
+        // Flatten walkability in one pass and count floor tiles
+        int floor = 0;
+        for (int y = 0, i = 0; y < height; y++) {
+            for (int x = 0; x < width; x++, i++) {
+                boolean w = d.isWalkable(x, y);
+                walkable[i] = w;
+                if (w) floor++;
+            }
+        }
+        r.floorRatio = (double) floor / (width * height);
+        if (r.floorRatio < thresholds.minFloorRatio && fail(r, "floor_ratio")) return r;
+
+        // BFS distances from the start over walkable tiles; also count floor tiles within the near radius
+        int nearFloor = bfs(d.getStartX(), d.getStartY());
+
+        // Item reachability and path lengths
+        List<Item> itemList = d.getItems();
+        r.items = itemList.size();
+        int unreachable = 0;
+        int maxPath = 0;
+        long totalPath = 0;
+        for (Item item : itemList) {
+            int p = distanceTo(item.getX(), item.getY());
+            if (p < 0) { unreachable++; continue; }
+            maxPath = Math.max(maxPath, p);
+            totalPath += p;
+        }
+        int reachable = r.items - unreachable;
+        r.unreachableItems = unreachable;
+        r.maxItemPath = maxPath;
+        r.meanItemPath = reachable > 0 ? (double) totalPath / reachable : 0;
+        if (unreachable > 0 && thresholds.allItemsReachable && fail(r, "unreachable_items")) return r;
+
+        // Enemy density near the start: living enemies within nearRadius steps, per reachable tile in that radius
+        int near = 0;
+        for (Enemy e : d.getEnemies()) {
+            if (!e.isAlive()) continue;
+            int p = distanceTo(e.getX(), e.getY());
+            if (p >= 0 && p <= thresholds.nearRadius) near++;
+        }
+        r.enemiesNearStart = near;
+        r.nearStartDensity = nearFloor > 0 ? (double) near / nearFloor : 0;
+        if (near > thresholds.maxEnemiesNearStart) fail(r, "enemies_near_start");
+        return r;
+    }
+
+    // fail: record the first failure; returns true if analysis should stop here
+    private boolean fail(Report r, String reason) {
+        if (r.failure == null) r.failure = reason;
+        return thresholds.earlyExit;
+    }
+
+    // bfs: fill dist with step counts from (sx, sy), -1 for unreachable. Returns tiles within nearRadius steps.
+    private int bfs(int sx, int sy) {
+        Arrays.fill(dist, -1);
+        if (sx < 0 || sy < 0 || sx >= width || sy >= height || !walkable[sy * width + sx]) return 0;
+        int head = 0, tail = 0, near = 0;
+        int start = sy * width + sx;
+        dist[start] = 0;
+        queue[tail++] = start;
+        while (head < tail) {
+            int i = queue[head++];
+            int di = dist[i];
+            if (di <= thresholds.nearRadius) near++;
+            int x = i % width;
+            if (x > 0) tail = visit(i - 1, di, tail);
+            if (x < width - 1) tail = visit(i + 1, di, tail);
+            if (i >= width) tail = visit(i - width, di, tail);
+            if (i < width * (height - 1)) tail = visit(i + width, di, tail);
+        }
+        return near;
+    }
+
+    private int visit(int n, int d, int tail) {
+        if (walkable[n] && dist[n] < 0) {
+            dist[n] = d + 1;
+            queue[tail++] = n;
+        }
+        return tail;
+    }
+
+    private int distanceTo(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) return -1;
+        return dist[y * width + x];
+    }
+
+    // Chunk: CSV rows for a contiguous run of seeds and how many of them passed
+    private record Chunk(String csv, int passed) {}
+
+    // analyzeRange: score seeds [from, to) and render them as CSV rows
+    private Chunk analyzeRange(long from, long to) {
+        StringBuilder sb = new StringBuilder((int) (to - from) * 64);
+        int passed = 0;
+        for (long seed = from; seed < to; seed++) {
+            Report r = analyze(seed);
+            if (r.passed()) passed++;
+            r.appendCsv(sb);
+            sb.append('\n');
+        }
+        return new Chunk(sb.toString(), passed);
+    }
+
+    // run: vet seeds [from, to) on a pool of threads, writing CSV rows to out in seed order as chunks complete.
+    // At most a few chunks per thread are in flight, so memory stays flat however large the range is.
+    // Returns the number of seeds that passed.
+    public static long run(long from, long to, int threads, int width, int height, int enemies, int items,
+                           Thresholds thresholds, Writer out) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ThreadLocal<SeedAnalyzer> analyzers =
+                ThreadLocal.withInitial(() -> new SeedAnalyzer(width, height, enemies, items, thresholds));
+        ArrayDeque<Future<Chunk>> inFlight = new ArrayDeque<>();
+        long passed = 0;
+        try {
+            out.write(CSV_HEADER);
+            out.write('\n');
+            for (long start = from; start < to; start += CHUNK) {
+                long s = start;
+                long e = Math.min(to, start + CHUNK);
+                inFlight.add(pool.submit(() -> analyzers.get().analyzeRange(s, e)));
+                if (inFlight.size() >= threads * 4) passed += write(inFlight.poll(), out);
+            }
+            while (!inFlight.isEmpty()) passed += write(inFlight.poll(), out);
+            out.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+        return passed;
+    }
+
+    private static int write(Future<Chunk> future, Writer out) throws IOException, InterruptedException {
+        try {
+            Chunk c = future.get();
+            out.write(c.csv());
+            return c.passed();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seed analysis failed", e.getCause());
+        }
+    }
+
+    // main: command line entry point; see the usage line at the top of the class. Summary goes to stderr.
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) usage("Missing seed range");
+        long from = 0, to = 0;
+        String outFile = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int width = Game.DEFAULT_WIDTH;
+        int height = Game.DEFAULT_HEIGHT;
+        int enemies = Game.DEFAULT_ENEMIES;
+        int items = Game.DEFAULT_ITEMS;
+        Thresholds t = new Thresholds();
+        try {
+            from = Long.parseLong(args[0]);
+            to = Long.parseLong(args[1]);
+            for (int i = 2; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--out" -> outFile = value(args, ++i);
+                    case "--threads" -> threads = Integer.parseInt(value(args, ++i));
+                    case "--width" -> width = Integer.parseInt(value(args, ++i));
+                    case "--height" -> height = Integer.parseInt(value(args, ++i));
+                    case "--enemies" -> enemies = Integer.parseInt(value(args, ++i));
+                    case "--items" -> items = Integer.parseInt(value(args, ++i));
+                    case "--min-rooms" -> t.minRooms = Integer.parseInt(value(args, ++i));
+                    case "--min-floor" -> t.minFloorRatio = Double.parseDouble(value(args, ++i));
+                    case "--near-radius" -> t.nearRadius = Integer.parseInt(value(args, ++i));
+                    case "--max-near" -> t.maxEnemiesNearStart = Integer.parseInt(value(args, ++i));
+                    case "--allow-unreachable" -> t.allItemsReachable = false;
+                    case "--all" -> t.earlyExit = false;
+                    default -> usage("Unknown option: " + args[i]);
+                }
+            }
+        } catch (NumberFormatException e) {
+            usage("Not a number: " + e.getMessage());
+        }
+        if (to < from) usage("toSeed must not be below fromSeed");
+        if (threads < 1) usage("--threads must be at least 1");
+        if (width < 1 || height < 1) usage("--width and --height must be at least 1");
+
+        long began = System.nanoTime();
+        Writer out = outFile != null
+                ? new BufferedWriter(new FileWriter(outFile), 1 << 16)
+                : new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16);
+        long passed;
+        try {
+            passed = run(from, to, threads, width, height, enemies, items, t, out);
+        } finally {
+            if (outFile != null) out.close(); else out.flush();
+        }
+        double seconds = (System.nanoTime() - began) / 1e9;
+        System.err.printf("Analyzed %d seeds in %.1fs on %d threads: %d passed, %d rejected%n",
+                to - from, seconds, threads, passed, (to - from) - passed);
+    }
+
+    // value: the argument following an option, or a usage error if the option is the last argument
+    private static String value(String[] args, int i) {
+        if (i >= args.length) usage("Missing value for " + args[i - 1]);
+        return args[i];
+    }
+
+    // usage: report a command line problem with the usage line and exit with status 2
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: SeedAnalyzer <fromSeed> <toSeed> [--out file.csv] [--threads n] [--width w]"
+                + " [--height h] [--enemies n] [--items n] [--min-rooms n] [--min-floor ratio]"
+                + " [--near-radius n] [--max-near n] [--allow-unreachable] [--all]");
+        System.exit(2);
+    }
+}
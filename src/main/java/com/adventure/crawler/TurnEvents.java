@@ -0,0 +1,90 @@
+package com.adventure.crawler;
+
+import java.util.Arrays;
+
+// TurnEvents: per-turn buffer of typed game events (damage, deaths, pickups and player actions).
+// Events are stored column-wise in parallel int arrays, so recording a turn allocates nothing once the
+// buffer has grown to its working size. Game clears it at the start of a turn, Dungeon applies the batched
+// removals at the end, and Renderer only turns it into a HUD message when a frame is actually drawn.
+public final class TurnEvents {
+    // Event types. Every event carries a type-specific int value.
+    public static final int ENEMY_DAMAGE = 0;  // an enemy took value damage
+    public static final int ENEMY_DEATH = 1;   // an enemy died
+    public static final int PLAYER_DAMAGE = 2; // the player took value damage
+    public static final int PLAYER_DEATH = 3;  // the player died
+    public static final int PICKUP = 4;        // player picked up the item with list index value
+    public static final int BUMP = 5;          // player walked into a wall
+    public static final int SWING = 6;         // player swung; value = number of foes hit
+    public static final int DRINK = 7;         // value = 1 if a potion was drunk, 0 if none were left
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] types = new int[INITIAL_CAPACITY];
+    private int[] values = new int[INITIAL_CAPACITY];
+    private int size;
+
+    // Forget all events from the previous turn; the backing arrays are kept for reuse.
+    public void clear() { size = 0; }
+
+    // Append an event, doubling the backing arrays if this turn produced more events than any before it.
+    // The buffer never wraps: end-of-turn removals rely on every event of the turn still being present.
+    public void record(int type, int value) {
+        if (size == types.length) grow();
+        types[size] = type;
+        values[size] = value;
+        size++;
+    }
+
+    // Accessors for iterating the events of the current turn in recording order
+    public int size() { return size; }
+    public int type(int i) { return types[i]; }
+    public int value(int i) { return values[i]; }
+
+    // appendMessage: writes the player-facing message for this turn into sb: the player's action (or the damage
+    // dealt by walking into an enemy), then kills, the blows the player took and a fatal blow, in that order.
+    // Returns false, appending nothing, when the turn produced no message.
+    public boolean appendMessage(StringBuilder sb) {
+        int action = -1;
+        int dealt = 0, kills = 0, taken = 0, blows = 0;
+        boolean died = false;
+        for (int i = 0; i < size; i++) {
+            switch (types[i]) {
+                case BUMP, SWING, DRINK -> action = i;
+                case ENEMY_DAMAGE -> dealt += values[i];
+                case ENEMY_DEATH -> kills++;
+                case PLAYER_DAMAGE -> { taken += values[i]; blows++; }
+                case PLAYER_DEATH -> died = true;
+                default -> {}
+            }
+        }
+        int start = sb.length();
+        if (action >= 0) {
+            switch (types[action]) {
+                case BUMP -> sb.append("You bump into a wall.");
+                case SWING -> {
+                    if (values[action] > 0) sb.append("You swing and hit ").append(values[action]).append(" foe(s)!");
+                    else sb.append("You swing at nothing.");
+                }
+                default -> sb.append(values[action] > 0 ? "You drink a potion and feel better." : "No potions to drink.");
+            }
+        } else if (dealt > 0) {
+            sb.append("You hit for ").append(dealt).append(" damage.");
+        }
+        if (kills > 0) separate(sb, start).append("You slay ").append(kills).append(" foe(s)!");
+        if (blows == 1) separate(sb, start).append("A foe hits you for ").append(taken).append('.');
+        else if (blows > 1) separate(sb, start).append(blows).append(" foes hit you for ").append(taken).append('.');
+        if (died) separate(sb, start).append("You fall!");
+        return sb.length() > start;
+    }
+
+    // separate: a space between sentences, but not before the first one of this message
+    private static StringBuilder separate(StringBuilder sb, int start) {
+        return sb.length() > start ? sb.append(' ') : sb;
+    }
+
+    private void grow() {
+        int capacity = types.length * 2;
+        types = Arrays.copyOf(types, capacity);
+        values = Arrays.copyOf(values, capacity);
+    }
+}